@@ -27,6 +27,15 @@ public class AllGamesRecord {
         gameRecords.add(record);
     }
 
+    /**
+     * Returns the game records in the order they were added.
+     *
+     * @return A read-only view of the GameRecords.
+     */
+    public List<GameRecord> getGameRecords() {
+        return Collections.unmodifiableList(gameRecords);
+    }
+
     /**
      * Calculates and returns the average score for all games stored in the record.
      *
@@ -0,0 +1,199 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The `GameLog` class is the event log of a single game: the secret, every guess made and the feedback received.
+ * Together with the seed it is enough to audit a game or replay it without any console I/O.
+ * A log is stored as a single tab separated line (see `toString` and `parse`); tabs, line breaks and backslashes
+ * inside fields are escaped.
+ */
+public class GameLog {
+
+    private final String gameType;
+    private final String playerId;
+    private final long seed;
+    private final int gameNumber; // Position of this game within the seeded session
+    private final String secret;
+    private final ArrayList<String> guesses;
+    private int[] feedbacks; // Grown by doubling; only the first guesses.size() entries are used
+
+    /**
+     * Constructs a new, empty `GameLog`.
+     *
+     * @param gameType   The game type key of the game that was played.
+     * @param playerId   playerId of the player.
+     * @param seed       The seed of the session the game was played in.
+     * @param gameNumber The number of games played earlier in the same session.
+     * @param secret     The secret to be guessed.
+     */
+    public GameLog(String gameType, String playerId, long seed, int gameNumber, String secret) {
+        this.gameType = gameType;
+        this.playerId = playerId;
+        this.seed = seed;
+        this.gameNumber = gameNumber;
+        this.secret = secret;
+        this.guesses = new ArrayList<>();
+        this.feedbacks = new int[8];
+    }
+
+    /**
+     * Appends a guess and the feedback it received to the log.
+     *
+     * @param guess    The guess as entered by the player.
+     * @param feedback The game specific feedback for the guess.
+     */
+    public void addEvent(String guess, int feedback) {
+        if (guesses.size() == feedbacks.length) {
+            feedbacks = Arrays.copyOf(feedbacks, feedbacks.length * 2);
+        }
+        feedbacks[guesses.size()] = feedback;
+        guesses.add(guess);
+    }
+
+    public String getGameType() {
+        return gameType;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    /**
+     * @return The number of guesses in the log.
+     */
+    public int size() {
+        return guesses.size();
+    }
+
+    public String getGuess(int i) {
+        return guesses.get(i);
+    }
+
+    public int getFeedback(int i) {
+        Objects.checkIndex(i, guesses.size());
+        return feedbacks[i];
+    }
+
+    /**
+     * Parses a log from the single line format produced by `toString`.
+     *
+     * @param line The line to parse.
+     * @return The parsed GameLog.
+     * @throws IllegalArgumentException if the line is not a valid log.
+     */
+    public static GameLog parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length < 5 || (fields.length - 5) % 2 != 0) {
+            throw new IllegalArgumentException("Malformed game log: " + line);
+        }
+        try {
+            GameLog log = new GameLog(unescape(fields[0]), unescape(fields[1]), Long.parseLong(fields[2]),
+                    Integer.parseInt(fields[3]), unescape(fields[4]));
+            for (int i = 5; i < fields.length; i += 2) {
+                log.addEvent(unescape(fields[i]), Integer.parseInt(fields[i + 1]));
+            }
+            return log;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed game log: " + line, e);
+        }
+    }
+
+    /**
+     * Returns the log as a single tab separated line:
+     * gameType, playerId, seed, gameNumber, secret, then a guess and feedback pair per event.
+     * Text fields are escaped so they never contain a tab or line break.
+     *
+     * @return The log as a single line.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        escape(sb, gameType).append('\t');
+        escape(sb, playerId).append('\t').append(seed).append('\t').append(gameNumber).append('\t');
+        escape(sb, secret);
+        for (int i = 0; i < guesses.size(); i++) {
+            escape(sb.append('\t'), guesses.get(i)).append('\t').append(feedbacks[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends a field to a log line, escaping backslashes, tabs and line breaks.
+     */
+    private static StringBuilder escape(StringBuilder sb, String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            switch (c) {
+                case '\\': sb.append("\\\\"); break;
+                case '\t': sb.append("\\t"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                default: sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * Reverses escape for a single field of a log line.
+     *
+     * @throws IllegalArgumentException if the field contains an unknown or unfinished escape.
+     */
+    private static String unescape(String field) {
+        if (field.indexOf('\\') == -1) {
+            return field;
+        }
+        StringBuilder sb = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i == field.length()) {
+                throw new IllegalArgumentException("Unfinished escape in game log field: " + field);
+            }
+            switch (field.charAt(i)) {
+                case '\\': sb.append('\\'); break;
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                default: throw new IllegalArgumentException("Unknown escape in game log field: " + field);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GameLog that = (GameLog) o;
+        return seed == that.seed && gameNumber == that.gameNumber && Objects.equals(gameType, that.gameType)
+                && Objects.equals(playerId, that.playerId) && Objects.equals(secret, that.secret)
+                && Objects.equals(guesses, that.guesses)
+                && Arrays.equals(feedbacks, 0, guesses.size(), that.feedbacks, 0, that.guesses.size());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(gameType, playerId, seed, gameNumber, secret, guesses);
+        for (int i = 0; i < guesses.size(); i++) {
+            result = 31 * result + feedbacks[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The GameReplayer class reads and writes files of GameLogs and re-runs the recorded games at full speed,
+ * without console I/O, to check that every game still produces the recorded feedback and score.
+ */
+public class GameReplayer {
+
+    /**
+     * Appends game logs to a file, one log per line.
+     *
+     * @param path The file to append to.
+     * @param logs The logs to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeLogs(Path path, List<GameLog> logs) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (GameLog log : logs) {
+            lines.add(log.toString());
+        }
+        Files.write(path, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Reads game logs from a file written by writeLogs. Blank lines are skipped.
+     *
+     * @param path The file to read.
+     * @return A list of the logs in the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static List<GameLog> readLogs(Path path) throws IOException {
+        List<GameLog> logs = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                logs.add(GameLog.parse(line));
+            }
+        }
+        return logs;
+    }
+
+    /**
+     * Creates a game that can replay logs of the given type.
+     *
+     * @param gameType The game type key, see GuessingGame.getGameType.
+     * @return A new game instance.
+     */
+    static GuessingGame newGame(String gameType) {
+        switch (gameType) {
+            case MastermindGame.GAME_TYPE:
+                return new MastermindGame();
+            case WheelOfFortuneGame.GAME_TYPE:
+                return WheelOfFortuneGame.forReplay();
+            default:
+                throw new IllegalArgumentException("Unknown game type: " + gameType);
+        }
+    }
+
+    /**
+     * Replays every log in parallel and collects the resulting game records. Each worker thread reuses one game
+     * instance per game type, since replay resets the game before every log.
+     *
+     * @param logs The logs to replay.
+     * @return An AllGamesRecord with a GameRecord per log, in the same order as the logs.
+     * @throws IllegalStateException if any replay diverges from its log.
+     */
+    public static AllGamesRecord replayAll(List<GameLog> logs) {
+        ThreadLocal<Map<String, GuessingGame>> games = ThreadLocal.withInitial(HashMap::new);
+        List<GameRecord> records = logs.parallelStream()
+                .map(log -> games.get().computeIfAbsent(log.getGameType(), GameReplayer::newGame).replay(log))
+                .collect(Collectors.toList());
+        AllGamesRecord allGamesRecord = new AllGamesRecord();
+        for (GameRecord record : records) {
+            allGamesRecord.addGameRecord(record);
+        }
+        return allGamesRecord;
+    }
+
+    /**
+     * Replays all games in a log file and reports how long it took. Exits with status 1 if the file cannot be read.
+     *
+     * @param args The log file to replay.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: GameReplayer <log file>");
+            return;
+        }
+        List<GameLog> logs;
+        try {
+            logs = readLogs(Paths.get(args[0]));
+        } catch (IOException e) {
+            System.out.println("Could not read game logs: " + e);
+            System.exit(1);
+            return;
+        }
+        if (logs.isEmpty()) {
+            System.out.println("No games to replay.");
+            return;
+        }
+        long start = System.nanoTime();
+        AllGamesRecord allGamesRecord = replayAll(logs);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println("Replayed " + logs.size() + " games in " + elapsed / 1_000_000 + " ms");
+        System.out.println("\nAverage of games:");
+        System.out.println(allGamesRecord.average());
+    }
+}
@@ -1,11 +1,44 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 /**
  * Abstract class for a guessing game.
  */
 abstract class GuessingGame {
 
-    protected StringBuilder secret;
+    protected StringBuilder secret; // Not used by WheelOfFortuneGame, which keeps its own hiddenPhrase buffer
     protected int guessesRemaining = 5;
     protected int roundCounter;
+    protected long seed = System.nanoTime();
+    protected Random random = new Random(seed); // All game randomness must come from here so sessions can be reproduced
+    protected int gameNumber;
+    protected ArrayList<GameLog> gameLogs = new ArrayList<>();
+
+    /**
+     * Reseeds the game so that the following sequence of games can be reproduced.
+     *
+     * @param seed The seed for all randomness in the session.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.gameNumber = 0;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the event logs of all games played so far.
+     *
+     * @return A list with a GameLog per game played.
+     */
+    public List<GameLog> getGameLogs() {
+        return Collections.unmodifiableList(gameLogs);
+    }
 
     /**
      * Plays a series of games, records the results, and returns an AllGamesRecord object summarizing the set.
@@ -29,6 +62,7 @@ abstract class GuessingGame {
     public GameRecord play() {
         GameRecord record = new GameRecord();
         record.playerId = "user";
+        GameLog gameLog = new GameLog(getGameType(), record.playerId, seed, gameNumber++, getSecretText());
         displayGameInstructions();
         while (guessesRemaining >= 0) {
             if (guessesRemaining == 0 || processWin()) {
@@ -37,14 +71,51 @@ abstract class GuessingGame {
                 displayGameInfo();
                 getGuess();
                 processGuess();
+                gameLog.addEvent(getGuessText(), getFeedback());
                 roundCounter++;
             }
         }
         record.score = guessesRemaining;
+        gameLogs.add(gameLog);
         displayGameResult();
         return record;
     }
 
+    /**
+     * Re-runs a recorded game without any console I/O, checking that every guess gets the recorded feedback.
+     *
+     * @param log The GameLog of the game to replay.
+     * @return A GameRecord containing the score and playerId of the replayed game.
+     * @throws IllegalStateException if the replay diverges from the log.
+     */
+    public GameRecord replay(GameLog log) {
+        if (!getGameType().equals(log.getGameType())) {
+            throw new IllegalArgumentException("Cannot replay a " + log.getGameType() + " log with a " + getGameType() + " game");
+        }
+        GameRecord record = new GameRecord();
+        record.playerId = log.getPlayerId();
+        loadGame(log.getSecret());
+        int event = 0;
+        while (guessesRemaining > 0 && !processWin()) {
+            if (event == log.size()) {
+                throw new IllegalStateException("Log of game " + log.getGameNumber() + " ended before the game did");
+            }
+            setGuess(log.getGuess(event));
+            processGuess();
+            if (getFeedback() != log.getFeedback(event)) {
+                throw new IllegalStateException("Game " + log.getGameNumber() + " diverged at guess " + event
+                        + ": expected feedback " + log.getFeedback(event) + " but got " + getFeedback());
+            }
+            roundCounter++;
+            event++;
+        }
+        if (event != log.size()) {
+            throw new IllegalStateException("Game " + log.getGameNumber() + " ended with " + (log.size() - event) + " guesses left in the log");
+        }
+        record.score = guessesRemaining;
+        return record;
+    }
+
     /**
      * Checks if the next game should be played.
      *
@@ -89,6 +160,49 @@ abstract class GuessingGame {
      */
     public abstract void displayGameResult();
 
+    /**
+     * Returns the key that identifies this kind of game in a GameLog. It must not change once logs have been stored,
+     * and subclasses that only change how guesses are made should keep the key of the game they extend.
+     *
+     * @return The game type key.
+     */
+    public abstract String getGameType();
+
+    /**
+     * Resets the game to its initial state with the given secret instead of a random one.
+     *
+     * @param secret The secret to be guessed, as returned by getSecretText.
+     */
+    public abstract void loadGame(String secret);
+
+    /**
+     * Sets the current guess without prompting the user.
+     *
+     * @param guess The guess, as returned by getGuessText.
+     */
+    public abstract void setGuess(String guess);
+
+    /**
+     * Returns the secret of the current game as text.
+     *
+     * @return The secret.
+     */
+    public abstract String getSecretText();
+
+    /**
+     * Returns the current guess as text.
+     *
+     * @return The current guess.
+     */
+    public abstract String getGuessText();
+
+    /**
+     * Returns the feedback for the last processed guess encoded as an int.
+     *
+     * @return The game specific feedback.
+     */
+    public abstract int getFeedback();
+
     @Override
     public String toString() {
         return "Game{}";
@@ -0,0 +1,280 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * The MastermindEngine class holds the rules of a Mastermind variant: the number of pegs, the colour palette and
+ * whether colours may repeat. Codes are represented as arrays of colour indices into the palette.
+ * Scoring counts colours instead of comparing every pair of pegs, secrets are sampled directly, and the
+ * code space is enumerated as a stream of indices so candidates never have to be held in memory.
+ */
+public class MastermindEngine {
+    public static final int MAX_PEGS = 10;
+    public static final int MAX_COLOURS = 16;
+
+    private final char[] palette;
+    private final int pegs;
+    private final boolean repeatsAllowed;
+    private final long codeSpaceSize;
+
+    /**
+     * Constructs a new engine for the given variant.
+     *
+     * @param palette        The letters representing each colour.
+     * @param pegs           The number of pegs in a code.
+     * @param repeatsAllowed true if a colour may appear more than once in a code.
+     */
+    public MastermindEngine(char[] palette, int pegs, boolean repeatsAllowed) {
+        if (palette.length < 1 || palette.length > MAX_COLOURS) {
+            throw new IllegalArgumentException("Number of colours must be between 1 and " + MAX_COLOURS);
+        }
+        if (pegs < 1 || pegs > MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 1 and " + MAX_PEGS);
+        }
+        if (!repeatsAllowed && pegs > palette.length) {
+            throw new IllegalArgumentException("Not enough colours for " + pegs + " pegs without repeats");
+        }
+        this.palette = palette.clone();
+        this.pegs = pegs;
+        this.repeatsAllowed = repeatsAllowed;
+
+        long size = 1;
+        for (int i = 0; i < pegs; i++) {
+            size *= repeatsAllowed ? palette.length : palette.length - i;
+        }
+        this.codeSpaceSize = size;
+    }
+
+    public int getPegs() {
+        return pegs;
+    }
+
+    public int getColours() {
+        return palette.length;
+    }
+
+    public boolean isRepeatsAllowed() {
+        return repeatsAllowed;
+    }
+
+    /**
+     * Returns the number of distinct codes in this variant (at most 16^10, which fits in a long).
+     *
+     * @return The size of the code space.
+     */
+    public long getCodeSpaceSize() {
+        return codeSpaceSize;
+    }
+
+    /**
+     * Samples a secret code uniformly at random. Without repeats this is a partial Fisher-Yates shuffle of the
+     * palette, so no draws are ever rejected.
+     *
+     * @param rand The source of randomness.
+     * @return A secret code of colour indices.
+     */
+    public int[] randomSecret(Random rand) {
+        int[] code = new int[pegs];
+        if (repeatsAllowed) {
+            for (int i = 0; i < pegs; i++) {
+                code[i] = rand.nextInt(palette.length);
+            }
+            return code;
+        }
+        int[] colours = new int[palette.length];
+        for (int i = 0; i < colours.length; i++) {
+            colours[i] = i;
+        }
+        for (int i = 0; i < pegs; i++) {
+            int j = i + rand.nextInt(colours.length - i);
+            int tmp = colours[i];
+            colours[i] = colours[j];
+            colours[j] = tmp;
+            code[i] = colours[i];
+        }
+        return code;
+    }
+
+    /**
+     * Scores a guess against a secret in O(pegs + colours). Colour indices outside the palette (e.g. from an
+     * invalid guess) never match anything.
+     *
+     * @param secret The secret code.
+     * @param guess  The guessed code.
+     * @return The feedback packed as (exacts << 16) | partials, see exactsOf and partialsOf.
+     */
+    public int score(int[] secret, int[] guess) {
+        return score(secret, guess, new int[palette.length]);
+    }
+
+    /**
+     * Scores a guess against a secret like score(secret, guess), but reuses the given array for the colour counts
+     * so that scoring many codes does not allocate.
+     *
+     * @param secret The secret code.
+     * @param guess  The guessed code.
+     * @param counts Scratch space of at least getColours() ints; its contents are overwritten.
+     * @return The feedback packed as (exacts << 16) | partials, see exactsOf and partialsOf.
+     */
+    public int score(int[] secret, int[] guess, int[] counts) {
+        Arrays.fill(counts, 0, palette.length, 0);
+        int exacts = 0;
+        int partials = 0;
+        for (int i = 0; i < pegs; i++) {
+            int s = secret[i];
+            int g = guess[i];
+            if (s == g) {
+                exacts++;
+                continue;
+            }
+            // counts[c] > 0 means secret has unmatched c, < 0 means guess has unmatched c
+            if (s >= 0 && s < palette.length) {
+                if (counts[s] < 0) {
+                    partials++;
+                }
+                counts[s]++;
+            }
+            if (g >= 0 && g < palette.length) {
+                if (counts[g] > 0) {
+                    partials++;
+                }
+                counts[g]--;
+            }
+        }
+        return (exacts << 16) | partials;
+    }
+
+    /**
+     * @param feedback Feedback packed by score.
+     * @return The number of exact matches.
+     */
+    public static int exactsOf(int feedback) {
+        return feedback >>> 16;
+    }
+
+    /**
+     * @param feedback Feedback packed by score.
+     * @return The number of partial matches.
+     */
+    public static int partialsOf(int feedback) {
+        return feedback & 0xFFFF;
+    }
+
+    /**
+     * Converts a string of palette letters to a code. Missing or unknown letters become -1.
+     *
+     * @param text The letters to convert, e.g. "GBOY".
+     * @return The code as colour indices.
+     */
+    public int[] encode(CharSequence text) {
+        int[] code = new int[pegs];
+        for (int i = 0; i < pegs; i++) {
+            code[i] = i < text.length() ? colourIndex(text.charAt(i)) : -1;
+        }
+        return code;
+    }
+
+    /**
+     * Converts a code to its string of palette letters.
+     *
+     * @param code The code as colour indices.
+     * @return A StringBuilder holding the letters of the code.
+     */
+    public StringBuilder toLetters(int[] code) {
+        StringBuilder sb = new StringBuilder(pegs);
+        for (int c : code) {
+            sb.append(c >= 0 && c < palette.length ? palette[c] : '?');
+        }
+        return sb;
+    }
+
+    private int colourIndex(char letter) {
+        for (int i = 0; i < palette.length; i++) {
+            if (palette[i] == letter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes a position in the code space into a code. With repeats the index is read as a base-colours number;
+     * without repeats each digit picks among the colours not used by the earlier pegs.
+     *
+     * @param index A value in [0, getCodeSpaceSize()).
+     * @param code  The array to write the code into.
+     * @return The code array.
+     */
+    public int[] decode(long index, int[] code) {
+        if (repeatsAllowed) {
+            for (int i = pegs - 1; i >= 0; i--) {
+                code[i] = (int) (index % palette.length);
+                index /= palette.length;
+            }
+            return code;
+        }
+        long radix = codeSpaceSize;
+        int used = 0; // bitmask of colours already placed
+        for (int i = 0; i < pegs; i++) {
+            radix /= palette.length - i;
+            int digit = (int) (index / radix);
+            index %= radix;
+            int colour = -1;
+            while (digit >= 0) {
+                colour++;
+                if ((used & (1 << colour)) == 0) {
+                    digit--;
+                }
+            }
+            used |= 1 << colour;
+            code[i] = colour;
+        }
+        return code;
+    }
+
+    /**
+     * Returns the indices of every code in the variant as a stream. Call parallel() on the result to spread the
+     * work over several cores.
+     *
+     * @return A stream of code indices.
+     */
+    public LongStream codeIndices() {
+        return LongStream.range(0, codeSpaceSize);
+    }
+
+    /**
+     * Streams the indices of the codes that are still consistent with the guesses made so far, i.e. the codes that
+     * would have produced exactly the recorded feedback for every guess. Each thread evaluating the stream reuses
+     * its own scratch arrays, so filtering does not allocate per code.
+     *
+     * @param guesses   The guesses made so far.
+     * @param feedbacks The packed feedback received for each guess.
+     * @return A lazy stream of candidate code indices.
+     */
+    public LongStream candidates(List<int[]> guesses, List<Integer> feedbacks) {
+        int[][] guessArray = guesses.toArray(new int[0][]);
+        int[] feedbackArray = feedbacks.stream().mapToInt(Integer::intValue).toArray();
+        ThreadLocal<int[]> codes = ThreadLocal.withInitial(() -> new int[pegs]);
+        ThreadLocal<int[]> counts = ThreadLocal.withInitial(() -> new int[palette.length]);
+        return codeIndices().filter(index -> {
+            int[] code = decode(index, codes.get());
+            int[] scratch = counts.get();
+            for (int i = 0; i < guessArray.length; i++) {
+                if (score(code, guessArray[i], scratch) != feedbackArray[i]) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "MastermindEngine{" +
+                "palette=" + new String(palette) +
+                ", pegs=" + pegs +
+                ", repeatsAllowed=" + repeatsAllowed +
+                '}';
+    }
+}
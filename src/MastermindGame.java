@@ -1,6 +1,7 @@
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.Random;
 import java.util.Scanner;
 
 /**
@@ -8,11 +9,15 @@ import java.util.Scanner;
  * This class extends the GuessingGame class and implements the game mechanics.
  */
 public class MastermindGame extends GuessingGame {
+    public static final String GAME_TYPE = "MastermindGame";
+
     private StringBuilder guessSB;
     private int exacts;
     private int partials;
 
     char[] letterList = {'R', 'G', 'B', 'Y', 'O', 'P'};
+    private final MastermindEngine engine = new MastermindEngine(letterList, 4, false);
+    private int[] secretCode;
 
     /**
      * Constructs a new instance of the MastermindGame game
@@ -30,15 +35,7 @@ public class MastermindGame extends GuessingGame {
      * @return A StringBuilder representing the secret code.
      */
     private StringBuilder getSecretSB() {
-        Random rand = new Random();
-        StringBuilder secret = new StringBuilder(0);
-        while (secret.length() < 4) {
-            int randomIndex = rand.nextInt(6);
-            if (secret.indexOf(String.valueOf(letterList[randomIndex])) == -1) { // Ensure no repeating colours
-                secret.append(letterList[randomIndex]);
-            }
-        }
-        return secret;
+        return engine.toLetters(engine.randomSecret(random));
     }
 
     /**
@@ -53,48 +50,51 @@ public class MastermindGame extends GuessingGame {
     }
 
     /**
-     * Processes the current guess by calculating the number of exact matches and partial matches.
-     * Decrements the remaining guesses.
+     * Sets the current guess without prompting the player.
+     *
+     * @param guess A sequence of colours, e.g GBOY.
      */
     @Override
-    public void processGuess() {
-        exacts = checkExacts();
-        partials = checkPartials();
-        guessesRemaining--;
+    public void setGuess(String guess) {
+        guessSB.setLength(0);
+        guessSB.append(guess);
+    }
+
+    @Override
+    public String getGameType() {
+        return GAME_TYPE;
+    }
+
+    @Override
+    public String getSecretText() {
+        return secret.toString();
+    }
+
+    @Override
+    public String getGuessText() {
+        return guessSB.toString();
     }
 
     /**
-     * Checks and returns the number of exact matches between the secret colour sequence and the player's guess.
+     * Returns the feedback for the last guess, packed as (exacts << 16) | partials.
      *
-     * @return The number of exact matches.
+     * @return The packed feedback.
      */
-    private int checkExacts() {
-        int exacts = 0;
-        for (int i = 0; i < 4; i++) {
-            if (secret.charAt(i) == guessSB.charAt(i)) {
-                exacts++;
-            }
-        }
-        return exacts;
+    @Override
+    public int getFeedback() {
+        return (exacts << 16) | partials;
     }
 
     /**
-     * Checks and returns the number of partial matches between the secret colour sequence and the player's guess.
-     *
-     * @return The number of partial matches.
-     */
-    private int checkPartials() {
-        int partials = 0;
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 4; j++) {
-                if (i != j) {
-                    if (secret.charAt(i) == (guessSB.charAt(j))) {
-                        partials++;
-                    }
-                }
-            }
-        }
-        return partials;
+     * Processes the current guess by calculating the number of exact matches and partial matches.
+     * Decrements the remaining guesses.
+     */
+    @Override
+    public void processGuess() {
+        int feedback = engine.score(secretCode, engine.encode(guessSB));
+        exacts = MastermindEngine.exactsOf(feedback);
+        partials = MastermindEngine.partialsOf(feedback);
+        guessesRemaining--;
     }
 
     /**
@@ -132,7 +132,21 @@ public class MastermindGame extends GuessingGame {
      * Resets the game for a new round by generating a new secret colour sequence and resetting the remaining guesses.
      */
     public void loadNewGame() {
-        secret = getSecretSB();
+        loadGame(getSecretSB().toString());
+    }
+
+    /**
+     * Resets the game for a new round with the given secret colour sequence.
+     *
+     * @param secret The secret colour sequence, e.g GBOY.
+     */
+    @Override
+    public void loadGame(String secret) {
+        this.secret = new StringBuilder(secret);
+        secretCode = engine.encode(secret);
+        guessSB.setLength(0); // Clear the last guess of the previous game so it can't count as a win
+        exacts = 0;
+        partials = 0;
         guessesRemaining = 5;
     }
 
@@ -197,12 +211,23 @@ public class MastermindGame extends GuessingGame {
     /**
      * The main method of the MastermindGame class, which initiates and manages the game and displays the results.
      *
-     * @param args The command-line arguments (not used in this program).
+     * @param args Optional seed for the session, followed by an optional file to append the game logs to.
      */
     public static void main(String[] args) {
         MastermindGame game = new MastermindGame();
+        if (args.length > 0) {
+            game.setSeed(Long.parseLong(args[0]));
+        }
         AllGamesRecord record = game.playAll();
         System.out.println("\nThanks for playing.");
+        if (args.length > 1) {
+            try {
+                GameReplayer.writeLogs(Paths.get(args[1]), game.getGameLogs());
+            } catch (IOException e) {
+                System.out.println("Could not write game logs: " + e);
+                System.exit(1);
+            }
+        }
         // Display highGameList (for two games)
         System.out.println("\nHigh Game List for 2 games:");
         System.out.println(record.highGameList(2));
@@ -0,0 +1,315 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The `PlayerRatings` class keeps an Elo rating per player, updated incrementally from GameRecords. Each game is
+ * rated as a match against a house with a fixed rating. This class is not thread-safe.
+ */
+public class PlayerRatings {
+
+    public static final double INITIAL_RATING = 1500;
+    public static final int DEFAULT_MAX_PLAYERS = 5_000_000;
+    private static final int SHARD_BITS = 6;
+
+    private final double houseRating;
+    private final double kFactor;
+    private final int maxScore;
+    private final int maxPlayers;
+
+    private Shard[] shards;
+    private AtomicInteger playerCount; // Shared by all shards so maxPlayers holds during recompute
+
+    /**
+     * The players whose ids hash to one shard. Each player has a dense int index into the id, rating and game
+     * count arrays, found through an open addressing table of those indices so nothing is boxed.
+     */
+    private class Shard {
+        private int[] table = new int[32]; // Open addressing table of player index + 1, 0 is empty. Length is a power of two.
+        private String[] playerIds = new String[16];
+        private double[] ratings = new double[16];
+        private int[] gamesPlayed = new int[16];
+        private int size;
+
+        /**
+         * Returns the table slot to start probing at for an id.
+         */
+        private int slotOf(String id) {
+            int h = id.hashCode();
+            return (h ^ (h >>> 16)) & (table.length - 1);
+        }
+
+        /**
+         * Returns the slot that holds a player, or the empty slot where they would be added.
+         */
+        private int probe(String id) {
+            int slot = slotOf(id);
+            while (table[slot] != 0 && !playerIds[table[slot] - 1].equals(id)) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            return slot;
+        }
+
+        /**
+         * Returns the index of a player, or -1 if they have not been seen before.
+         */
+        private int find(String id) {
+            return table[probe(id)] - 1;
+        }
+
+        /**
+         * Returns the index of a player, adding them with the initial rating if they have not been seen before.
+         *
+         * @throws IllegalStateException if the player is new and maxPlayers players are already rated.
+         */
+        private int indexOf(String id) {
+            int slot = probe(id);
+            if (table[slot] != 0) {
+                return table[slot] - 1;
+            }
+            if (playerCount.incrementAndGet() > maxPlayers) {
+                playerCount.decrementAndGet();
+                throw new IllegalStateException("Cannot rate more than " + maxPlayers + " players");
+            }
+            if (size == ratings.length) {
+                int capacity = (int) Math.min((long) size * 2, maxPlayers);
+                playerIds = Arrays.copyOf(playerIds, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                gamesPlayed = Arrays.copyOf(gamesPlayed, capacity);
+            }
+            playerIds[size] = id;
+            ratings[size] = INITIAL_RATING;
+            table[slot] = size + 1;
+            size++;
+            if (size * 2 > table.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        /**
+         * Doubles the table so it stays at most half full.
+         */
+        private void rehash() {
+            table = new int[table.length * 2];
+            for (int index = 0; index < size; index++) {
+                int slot = slotOf(playerIds[index]);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (table.length - 1);
+                }
+                table[slot] = index + 1;
+            }
+        }
+
+        /**
+         * Applies the Elo update for one game to the player at the given index.
+         */
+        private void rate(int index, int score) {
+            double expected = 1 / (1 + Math.pow(10, (houseRating - ratings[index]) / 400));
+            double actual = Math.max(0, Math.min(1, (double) score / maxScore));
+            ratings[index] += kFactor * (actual - expected);
+            gamesPlayed[index]++;
+        }
+    }
+
+    /**
+     * Constructs a new `PlayerRatings` with a house rating of 1500, a K-factor of 32, a maximum score of 5 and room
+     * for DEFAULT_MAX_PLAYERS players.
+     */
+    public PlayerRatings() {
+        this(INITIAL_RATING, 32, 5, DEFAULT_MAX_PLAYERS);
+    }
+
+    /**
+     * Constructs a new `PlayerRatings` with no players.
+     *
+     * @param houseRating The fixed rating of the house every game is played against.
+     * @param kFactor     The largest change to a rating a single game can make.
+     * @param maxScore    The best possible score of a game, i.e. the number of guesses a game starts with.
+     * @param maxPlayers  The most players that may be rated; rating one more throws IllegalStateException.
+     *                    Each player costs 24 bytes when the arrays and tables are full (the tables at half load),
+     *                    up to 48 bytes just after they double, plus the id String itself.
+     */
+    public PlayerRatings(double houseRating, double kFactor, int maxScore, int maxPlayers) {
+        if (maxPlayers < 1 || maxPlayers > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("maxPlayers must be between 1 and " + Integer.MAX_VALUE / 4);
+        }
+        this.houseRating = houseRating;
+        this.kFactor = kFactor;
+        this.maxScore = maxScore;
+        this.maxPlayers = maxPlayers;
+        clear();
+    }
+
+    /**
+     * Removes all players and ratings.
+     */
+    public void clear() {
+        shards = new Shard[1 << SHARD_BITS];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        playerCount = new AtomicInteger();
+    }
+
+    /**
+     * Returns the shard a player belongs to. Uses the high bits of a multiplicative hash, so it is independent of
+     * the low bits the shard's table probes with.
+     */
+    private static int shardOf(String id) {
+        return (id.hashCode() * 0x9E3779B9) >>> (32 - SHARD_BITS);
+    }
+
+    /**
+     * Updates the rating of the player of a single game.
+     *
+     * @param record The GameRecord of the game.
+     */
+    public void update(GameRecord record) {
+        Shard shard = shards[shardOf(record.playerId)];
+        shard.rate(shard.indexOf(record.playerId), record.score);
+    }
+
+    /**
+     * Updates ratings from a stream of games, in encounter order.
+     *
+     * @param records The GameRecords to rate.
+     */
+    public void updateAll(Stream<GameRecord> records) {
+        records.sequential().forEachOrdered(this::update);
+    }
+
+    /**
+     * Discards all ratings and recomputes them from the full history in parallel.
+     * A player's rating only depends on their own games, so each shard indexes its players and rates their games
+     * on its own thread, seeing the games in history order. Hashing the ids to shards is also parallel; only
+     * a counting sort of the game positions by shard runs on one thread.
+     *
+     * @param history All GameRecords in the order they were played.
+     * @throws IllegalStateException if the history has more than maxPlayers players; no players are left rated.
+     */
+    public void recompute(List<GameRecord> history) {
+        clear();
+        int[] shardIds = new int[history.size()];
+        IntStream.range(0, shardIds.length).parallel().forEach(i -> shardIds[i] = shardOf(history.get(i).playerId));
+
+        // Counting sort of the games by shard, keeping history order within each shard
+        int[] shardStart = new int[shards.length + 1];
+        for (int shard : shardIds) {
+            shardStart[shard + 1]++;
+        }
+        for (int s = 0; s < shards.length; s++) {
+            shardStart[s + 1] += shardStart[s];
+        }
+        int[] order = new int[shardIds.length];
+        int[] fill = Arrays.copyOf(shardStart, shards.length);
+        for (int i = 0; i < shardIds.length; i++) {
+            order[fill[shardIds[i]]++] = i;
+        }
+
+        AtomicReference<IllegalStateException> failure = new AtomicReference<>();
+        IntStream.range(0, shards.length).parallel().forEach(s -> {
+            Shard shard = shards[s];
+            try {
+                for (int j = shardStart[s]; j < shardStart[s + 1] && failure.get() == null; j++) {
+                    GameRecord record = history.get(order[j]);
+                    shard.rate(shard.indexOf(record.playerId), record.score);
+                }
+            } catch (IllegalStateException e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        if (failure.get() != null) {
+            clear(); // Don't leave some shards recomputed and others not
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Returns the rating of a player.
+     *
+     * @param id playerId of the player.
+     * @return The player's rating, or the initial rating if they have not played.
+     */
+    public double getRating(String id) {
+        Shard shard = shards[shardOf(id)];
+        int index = shard.find(id);
+        return index == -1 ? INITIAL_RATING : shard.ratings[index];
+    }
+
+    /**
+     * Returns the number of rated games of a player.
+     *
+     * @param id playerId of the player.
+     * @return The number of games rated for the player.
+     */
+    public int getGamesPlayed(String id) {
+        Shard shard = shards[shardOf(id)];
+        int index = shard.find(id);
+        return index == -1 ? 0 : shard.gamesPlayed[index];
+    }
+
+    /**
+     * @return The number of rated players.
+     */
+    public int size() {
+        return playerCount.get();
+    }
+
+    /**
+     * Returns the rating of a player identified by (shard << 32) | index.
+     */
+    private double ratingAt(long key) {
+        return shards[(int) (key >>> 32)].ratings[(int) key];
+    }
+
+    /**
+     * Returns the 'n' highest rated players, best first.
+     * Uses a heap of size 'n' so only the leaders are ever sorted.
+     *
+     * @param n The number of players to include.
+     * @return A map from playerId to rating, in descending order of rating.
+     */
+    public LinkedHashMap<String, Double> leaderboard(int n) {
+        PriorityQueue<Long> heap = new PriorityQueue<>((a, b) -> Double.compare(ratingAt(a), ratingAt(b)));
+        for (int s = 0; s < shards.length; s++) {
+            Shard shard = shards[s];
+            for (int i = 0; i < shard.size; i++) {
+                if (heap.size() < n) {
+                    heap.add(((long) s << 32) | i);
+                } else if (n > 0 && shard.ratings[i] > ratingAt(heap.peek())) {
+                    heap.poll();
+                    heap.add(((long) s << 32) | i);
+                }
+            }
+        }
+        List<Long> leaders = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            leaders.add(heap.poll());
+        }
+        Collections.reverse(leaders);
+        LinkedHashMap<String, Double> leaderboard = new LinkedHashMap<>();
+        for (long key : leaders) {
+            leaderboard.put(shards[(int) (key >>> 32)].playerIds[(int) key], ratingAt(key));
+        }
+        return leaderboard;
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerRatings{" +
+                "houseRating=" + houseRating +
+                ", kFactor=" + kFactor +
+                ", maxScore=" + maxScore +
+                ", maxPlayers=" + maxPlayers +
+                ", players=" + playerCount +
+                '}';
+    }
+}
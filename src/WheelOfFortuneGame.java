@@ -8,35 +8,61 @@ import java.util.*;
  * This class extends the GuessingGame class and manages the game mechanics.
  */
 class WheelOfFortuneGame extends GuessingGame {
+    public static final String GAME_TYPE = "WheelOfFortuneGame";
+    private static final int INDEXED_CHARS = 256; // Characters above this share one chain that is scanned
+
     protected String phrase;
     protected StringBuilder previousGuesses;
     protected ArrayList<String> phraseList;
     protected char guess;
+    protected boolean correct; // Whether the last processed guess was in the phrase
+    protected char[] hiddenPhrase; // The phrase as shown to the player, updated in place; used instead of secret
+    protected int hiddenLetters; // Number of letters still obscured in hiddenPhrase
+    private int[] firstPosition = new int[INDEXED_CHARS]; // Indexed by lowercase character: first index of it in phrase, or -1
+    private int firstOverflow; // First index of a character whose lowercase is not below INDEXED_CHARS, or -1
+    private int[] nextPosition; // Index of the next character in the same chain, or -1
 
     /**
      * Constructs a new instance of the WheelOfFortune game.
      * Initializes the game by reading phrases from a file, initializing previousGuesses, and setting up the initial round.
      */
     public WheelOfFortuneGame() {
-        phraseList = readPhrases();
+        this(readPhrases());
+    }
+
+    /**
+     * Constructs a new instance of the WheelOfFortune game that draws from the given phrases.
+     *
+     * @param phraseList the phrases to play
+     */
+    private WheelOfFortuneGame(ArrayList<String> phraseList) {
+        this.phraseList = phraseList;
         previousGuesses = new StringBuilder();
     }
 
+    /**
+     * Creates a game for replaying logs. Every log carries its own phrase, so no phrase file is read.
+     *
+     * @return a WheelOfFortuneGame with an empty phraseList
+     */
+    public static WheelOfFortuneGame forReplay() {
+        return new WheelOfFortuneGame(new ArrayList<>());
+    }
+
     /**
      * Reads a list of phrases from a file and returns them as an ArrayList of strings.
      *
-     * @return An ArrayList containing the phrases read from the file.
+     * @return An ArrayList containing the phrases read from the file, or an empty list if it could not be read.
      */
-    private ArrayList<String> readPhrases() {
-        List<String> phraseList = null;
+    private static ArrayList<String> readPhrases() {
         // Get the phrase from a file of phrases
         try {
-            phraseList = Files.readAllLines(Paths.get("phrases.txt"));
+            return new ArrayList<>(Files.readAllLines(Paths.get("phrases.txt")));
         } catch (
                 IOException e) {
             System.out.println(e);
         }
-        return new ArrayList<>(phraseList);
+        return new ArrayList<>();
     }
 
     /**
@@ -49,8 +75,7 @@ class WheelOfFortuneGame extends GuessingGame {
         if (phraseList.size() == 1) {
             x = 0;
         } else {
-            Random rand = new Random();
-            x = rand.nextInt(phraseList.size());
+            x = random.nextInt(phraseList.size());
         }
         String phrase = phraseList.get(x);
         phraseList.remove(x);
@@ -58,22 +83,76 @@ class WheelOfFortuneGame extends GuessingGame {
     }
 
     /**
-     * Generates the initial hidden phrase before the user has made any guesses, replacing letters in the original
-     * phrase with asterisks (*)
+     * Returns a copy of the phrase with letters replaced by asterisks (*). The game itself keeps the hidden phrase
+     * in hiddenPhrase, see initHiddenPhrase.
      *
      * @param phrase the original phrase to obscure with asterisks
      * @return the hidden phrase with letters replaced by asterisks
      */
     public StringBuilder getHiddenPhrase(String phrase) {
-        StringBuilder initialCode = new StringBuilder();
+        StringBuilder initialCode = new StringBuilder(phrase.length());
         for (int i = 0; i < phrase.length(); i++) {
-            if (Character.isLetter(phrase.charAt(i))) {
-                initialCode.append("*");
+            char currentChar = phrase.charAt(i);
+            initialCode.append(Character.isLetter(currentChar) ? '*' : currentChar);
+        }
+        return initialCode;
+    }
+
+    /**
+     * Generates the initial hidden phrase before the user has made any guesses, replacing letters in the original
+     * phrase with asterisks (*). Also indexes the positions of every character so that a guess only touches the
+     * positions it reveals.
+     */
+    public void initHiddenPhrase() {
+        hiddenPhrase = new char[phrase.length()];
+        nextPosition = new int[phrase.length()];
+        Arrays.fill(firstPosition, -1);
+        firstOverflow = -1;
+        hiddenLetters = 0;
+        for (int i = phrase.length() - 1; i >= 0; i--) { // Backwards so each chain is in phrase order
+            char currentChar = phrase.charAt(i);
+            if (Character.isLetter(currentChar)) {
+                hiddenPhrase[i] = '*';
+                hiddenLetters++;
             } else {
-                initialCode.append(phrase.charAt(i));
+                hiddenPhrase[i] = currentChar;
+            }
+            char key = Character.toLowerCase(currentChar);
+            if (key < INDEXED_CHARS) {
+                nextPosition[i] = firstPosition[key];
+                firstPosition[key] = i;
+            } else {
+                nextPosition[i] = firstOverflow;
+                firstOverflow = i;
             }
         }
-        return initialCode;
+    }
+
+    /**
+     * Returns the start of the chain of positions that holds every occurrence of a character.
+     * The chain may also hold other characters, so callers must compare each position.
+     *
+     * @param c the character to look up
+     * @return the first index of the chain, or -1 if it is empty
+     */
+    private int chainOf(char c) {
+        char key = Character.toLowerCase(c);
+        return key < INDEXED_CHARS ? firstPosition[key] : firstOverflow;
+    }
+
+    /**
+     * Checks if the phrase contains a character, matching case exactly.
+     *
+     * @param c the character to look for
+     * @return true if the phrase contains c, false otherwise
+     */
+    private boolean phraseContains(char c) {
+        for (int i = chainOf(c); i != -1; i = nextPosition[i]) {
+            if (phrase.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -82,8 +161,8 @@ class WheelOfFortuneGame extends GuessingGame {
      * @return void
      */
     public void processGuess() {
-        String stringGuess = String.valueOf(this.guess);
-        if (this.phrase.contains(stringGuess.toLowerCase()) || this.phrase.contains(stringGuess.toUpperCase())) {
+        correct = phraseContains(Character.toLowerCase(this.guess)) || phraseContains(Character.toUpperCase(this.guess));
+        if (correct) {
             processCorrect();
         } else {
             processIncorrect();
@@ -110,17 +189,31 @@ class WheelOfFortuneGame extends GuessingGame {
     }
 
     /**
-     * Updates the secret phrase to reflect the current correct guesses made
-     * The method iterates through each character in the 'phrase', checks if it's a letter, and if it has been guessed.
+     * Updates the hidden phrase in place to reveal the current guess and its uppercase form.
+     * Only the chains that can hold those characters are visited.
      */
     public void updateHiddenPhrase() {
-        this.secret.setLength(0); //clear existing content of the hiddenPhrase StringBuilder
-        for (int i = 0; i < this.phrase.length(); i++) {
-            char currentChar = this.phrase.charAt(i);
-            if ((Character.isLetter(currentChar)) && (this.previousGuesses.indexOf(String.valueOf(currentChar))) == -1) { // If the character is a letter and it hasn't been guessed yet obscure with *
-                this.secret.append("*");
-            } else {
-                this.secret.append(this.phrase.charAt(i));
+        char upper = Character.toUpperCase(this.guess);
+        int chain = chainOf(this.guess);
+        reveal(chain, this.guess, upper);
+        if (chainOf(upper) != chain) { // e.g. the uppercase of a dotless i lowercases to a different letter
+            reveal(chainOf(upper), this.guess, upper);
+        }
+    }
+
+    /**
+     * Reveals every position in a chain that holds one of two characters.
+     *
+     * @param start the first index of the chain
+     * @param a     a character to reveal
+     * @param b     another character to reveal
+     */
+    private void reveal(int start, char a, char b) {
+        for (int i = start; i != -1; i = nextPosition[i]) {
+            char currentChar = phrase.charAt(i);
+            if ((currentChar == a || currentChar == b) && hiddenPhrase[i] != currentChar) {
+                hiddenPhrase[i] = currentChar;
+                hiddenLetters--;
             }
         }
     }
@@ -131,11 +224,60 @@ class WheelOfFortuneGame extends GuessingGame {
      */
     @Override
     public void loadNewGame() {
+        loadGame(randomPhrase());
+    }
+
+    /**
+     * Resets the game state for a new round with the given phrase.
+     *
+     * @param phrase the phrase to be guessed
+     */
+    @Override
+    public void loadGame(String phrase) {
         previousGuesses.setLength(0);
         roundCounter = 0;
         guessesRemaining = 5;
-        phrase = randomPhrase();
-        secret = getHiddenPhrase(phrase);
+        this.phrase = phrase;
+        initHiddenPhrase();
+    }
+
+    /**
+     * Sets the current guess without prompting the player.
+     *
+     * @param guess a single letter
+     * @throws IllegalArgumentException if the guess is not exactly one character
+     */
+    @Override
+    public void setGuess(String guess) {
+        if (guess.length() != 1) {
+            throw new IllegalArgumentException("Wheel of Fortune guess must be a single letter: '" + guess + "'");
+        }
+        this.guess = guess.charAt(0);
+    }
+
+    @Override
+    public String getGameType() {
+        return GAME_TYPE;
+    }
+
+    @Override
+    public String getSecretText() {
+        return phrase;
+    }
+
+    @Override
+    public String getGuessText() {
+        return String.valueOf(guess);
+    }
+
+    /**
+     * Returns the feedback for the last guess.
+     *
+     * @return 1 if the guessed letter was in the phrase, 0 otherwise.
+     */
+    @Override
+    public int getFeedback() {
+        return correct ? 1 : 0;
     }
 
     /**
@@ -151,14 +293,18 @@ class WheelOfFortuneGame extends GuessingGame {
      */
     @Override
     public void displayGameInfo() {
-        System.out.println("\n<---ROUND " + roundCounter + "--->\nPhrase:\t" + secret + "\nPrevious Guesses: " + previousGuesses + "\n#Guesses Remaining: " + guessesRemaining);
+        System.out.print("\n<---ROUND " + roundCounter + "--->\nPhrase:\t");
+        System.out.println(hiddenPhrase); // Written straight from the buffer
+        System.out.println("Previous Guesses: " + previousGuesses + "\n#Guesses Remaining: " + guessesRemaining);
     }
 
     /**
      * Displays the game's summary, including the secret phrase and the player's score.
      */
     public void displayGameResult() {
-        System.out.println("<----GAME SUMMARY---->\nPhrase:\t" + secret + "\nScore: " + guessesRemaining + " (defined as guesses remaining)");
+        System.out.print("<----GAME SUMMARY---->\nPhrase:\t");
+        System.out.println(hiddenPhrase);
+        System.out.println("Score: " + guessesRemaining + " (defined as guesses remaining)");
     }
 
     /**
@@ -190,11 +336,11 @@ class WheelOfFortuneGame extends GuessingGame {
     /**
      * Checks if the player has guessed the entire phrase and won the game.
      *
-     * @return true if the phrase has no asterisks, indicating that it has been entirely guessed, false otherwise.
+     * @return true if no letters are left obscured, indicating that the phrase has been entirely guessed, false otherwise.
      */
     @Override
     public boolean processWin() {
-        return secret.indexOf("*") == -1;
+        return hiddenLetters == 0;
     }
 
     /**
@@ -253,11 +399,22 @@ class WheelOfFortuneGame extends GuessingGame {
     /**
      * The main method to start and play the Wheel of Fortune game with human user inputs
      *
-     * @param args Command-line arguments
+     * @param args Optional seed for the session, followed by an optional file to append the game logs to
      */
     public static void main(String[] args) {
         WheelOfFortuneGame wofGame = new WheelOfFortuneGame();
+        if (args.length > 0) {
+            wofGame.setSeed(Long.parseLong(args[0]));
+        }
         AllGamesRecord allGamesRecord = wofGame.playAll();
+        if (args.length > 1) {
+            try {
+                GameReplayer.writeLogs(Paths.get(args[1]), wofGame.getGameLogs());
+            } catch (IOException e) {
+                System.out.println("Could not write game logs: " + e);
+                System.exit(1);
+            }
+        }
 
         // Display AllGamesRecord object
         System.out.println("\nAll games record object: ");